@@ -0,0 +1,115 @@
+package org.springframework.beans.factory.config;
+
+/**
+ * 可选实现的{@link SingletonBeanRegistry}扩展接口，允许以新版本原子地替换单个单例，
+ * 而不必刷新整个bean工厂
+ *
+ * <p>
+ *     名字规则：{@code "&name"}指{@link org.springframework.beans.factory.FactoryBean}单例本身；
+ *     对{@code FactoryBean}而言，不带前缀的{@code "name"}指它缓存的单例产品；
+ *     对普通单例而言，不带前缀的{@code "name"}指单例本身，{@code "&name"}不指向任何实例
+ * </p>
+ *
+ * <p>
+ *     版本号：上述每个名字各自维护独立的版本号，{@code "&name"}与{@code "name"}互不影响。
+ *     一个名字的实例首次可用时版本为{@code 1}，之后每当有新实例成为当前实例时加1，
+ *     无论单例是通过{@link #registerSingleton}注册的还是由工厂根据bean定义创建的。
+ *     对{@code FactoryBean}而言，产品尚未创建或已因工厂被替换而失效时，
+ *     {@code "name"}视为没有当前实例；失效前的版本号保留，下一个产品的版本号在其基础上加1
+ * </p>
+ *
+ * <p>
+ *     销毁时机：只有被替换而退役的实例才会被销毁，某个版本号落后于当前版本本身不会导致销毁。
+ *     退役的实例在其所有{@link SingletonLease}都被释放后才执行销毁回调；
+ *     如果退役时没有未释放的租约，则在替换完成后立即销毁。
+ *     通过{@link #getSingleton}直接取得的引用不会被跟踪，
+ *     需要在替换期间继续安全使用旧实例的调用者必须通过{@link #acquireSingleton}持有租约。
+ *     工厂关闭时所有退役但尚未销毁的实例一并销毁，不再等待未释放的租约
+ * </p>
+ *
+ * <p>
+ *     已经直接注入了旧实例的bean不会被重新注入；
+ *     只有每次使用时都重新查找的依赖方(例如通过{@code ObjectFactory}或租约)才能看到新版本
+ * </p>
+ *
+ * @see SingletonBeanRegistry
+ * @see ConfigurableBeanFactory
+ */
+public interface ReloadableSingletonBeanRegistry extends SingletonBeanRegistry {
+
+    /**
+     * 返回指定名字当前实例的版本号
+     * @param beanName 要查询的bean的名字，可以带有{@code "&"}前缀
+     * @return 当前版本号，如果此名字没有当前实例则返回{@code 0}
+     * @see #acquireSingleton
+     */
+    long getSingletonVersion(String beanName);
+
+    /**
+     * 获取指定名字当前实例的租约，租约同时给出实例与其版本号
+     *
+     * <p>
+     *     在租约被释放之前，即使实例已被替换而退役，也不会被销毁
+     * </p>
+     * @param beanName 要获取的bean的名字，可以带有{@code "&"}前缀
+     * @return 当前实例的租约
+     * @throws IllegalStateException 如果此名字没有当前实例，包括{@code FactoryBean}的产品尚未创建的情况
+     */
+    SingletonLease acquireSingleton(String beanName) throws IllegalStateException;
+
+    /**
+     * 当指定名字的当前版本等于{@code expectedVersion}时，以新实例原子地替换它，
+     * 被替换下来的实例随即退役
+     *
+     * <ul>
+     *     <li>{@code "&name"}：替换{@code FactoryBean}本身，新对象必须是{@code FactoryBean}；
+     *     其缓存的产品一并退役，下次访问时由新工厂重新创建</li>
+     *     <li>{@code "name"}对应{@code FactoryBean}：只替换其缓存的单例产品，工厂本身保持不变，
+     *     要求{@code FactoryBean#isSingleton}返回{@code true}；
+     *     产品尚未创建时以{@code expectedVersion}为{@code 0}直接安装新产品</li>
+     *     <li>{@code "name"}对应普通单例：替换单例本身，新对象不能是{@code FactoryBean}，
+     *     以免替换后{@code getBean("name")}的返回值悄然变为工厂产品</li>
+     * </ul>
+     * @param beanName 要替换的bean的名字，可以带有{@code "&"}前缀
+     * @param expectedVersion 调用者期望的当前版本号，通常来自{@link SingletonLease#getVersion}
+     * @param singletonObject 新的单例对象，不能为{@code null}
+     * @return 替换后的新版本号
+     * @throws IllegalArgumentException 如果{@code singletonObject}为{@code null}，
+     * 带{@code "&"}前缀时新对象不是{@code FactoryBean}，或替换普通单例时新对象是{@code FactoryBean}
+     * @throws IllegalStateException 如果{@link #containsSingleton}不包含此bean，
+     * 带{@code "&"}前缀时对应的单例不是{@code FactoryBean}，当前版本与{@code expectedVersion}不一致，
+     * 或替换产品时对应的{@code FactoryBean}不是单例
+     */
+    long replaceSingleton(String beanName, long expectedVersion, Object singletonObject)
+            throws IllegalArgumentException, IllegalStateException;
+
+
+    /**
+     * 对某一版本单例实例的租约。持有租约期间该实例不会被销毁，
+     * 可以通过try-with-resources确保异常路径上也会释放
+     */
+    interface SingletonLease extends AutoCloseable {
+
+        /**
+         * 返回租约对应的单例实例
+         */
+        Object getObject();
+
+        /**
+         * 返回租约对应的版本号
+         */
+        long getVersion();
+
+        /**
+         * 释放租约。如果该实例已被替换而退役且这是它的最后一个租约，则销毁该实例；
+         * 仍是当前实例时从不销毁。重复调用不产生任何效果
+         */
+        void release();
+
+        /**
+         * 等同于{@link #release}，不抛出受检异常
+         */
+        @Override
+        void close();
+    }
+}